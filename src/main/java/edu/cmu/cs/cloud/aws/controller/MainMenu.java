@@ -9,6 +9,7 @@ import java.util.Properties;
 
 import edu.cmu.cs.cloud.aws.model.AWSConfigLoader;
 import edu.cmu.cs.cloud.aws.model.EC2Manager;
+import edu.cmu.cs.cloud.aws.model.HttpTransportManager;
 import edu.cmu.cs.cloud.aws.model.InputManager;
 import edu.cmu.cs.cloud.aws.model.SecurityGroupManager;
 import edu.cmu.cs.cloud.aws.model.SSHTunnelManager;
@@ -28,6 +29,7 @@ public class MainMenu {
         ec2Client = Ec2Client.builder()
                 .region(Region.of(config.getProperty("aws.region")))
                 .credentialsProvider(ProfileCredentialsProvider.create())
+                .httpClient(HttpTransportManager.getHttpClient(config))
                 .build();
     }
 
@@ -70,6 +72,7 @@ public class MainMenu {
                 case "7":
                     System.out.println("Exiting... Goodbye!");
                     ec2Client.close();
+                    HttpTransportManager.closeAll();
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
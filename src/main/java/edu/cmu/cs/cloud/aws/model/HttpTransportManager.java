@@ -0,0 +1,160 @@
+package edu.cmu.cs.cloud.aws.model;
+
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class HttpTransportManager {
+
+    /**
+     * HTTP implementations that can back an AWS SDK client.
+     */
+    public enum Transport {
+        APACHE, URLCONNECTION, CRT;
+
+        /**
+         * Resolves a transport from its config value, falling back to URLConnection for
+         * missing or unknown names.
+         */
+        public static Transport fromConfig(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return URLCONNECTION;
+            }
+            try {
+                return Transport.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Unknown http.client.type '" + value + "', falling back to urlconnection.");
+                return URLCONNECTION;
+            }
+        }
+    }
+
+    // One client (and therefore one connection pool) per transport, shared by every SDK client
+    private static final Map<Transport, SdkHttpClient> sharedClients = new EnumMap<>(Transport.class);
+
+    static {
+        // SDK clients never close an HTTP client handed to them, so release the pools on exit
+        Runtime.getRuntime().addShutdownHook(new Thread(HttpTransportManager::closeAll));
+    }
+
+    private HttpTransportManager() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the shared HTTP client for the transport selected by http.client.type,
+     * building it from the http.* settings in config on first use.
+     *
+     * @param config The loaded application configuration
+     * @return An HTTP client to pass to an SDK client builder's httpClient(...)
+     */
+    public static SdkHttpClient getHttpClient(Properties config) {
+        return getHttpClient(Transport.fromConfig(config.getProperty("http.client.type")), config);
+    }
+
+    /**
+     * Returns the shared HTTP client for the given transport, ignoring http.client.type.
+     * Meant for callers that pick the transport explicitly, such as the transport benchmark.
+     *
+     * @param transport The HTTP implementation to use
+     * @param config    The loaded application configuration
+     * @return An HTTP client to pass to an SDK client builder's httpClient(...)
+     */
+    public static synchronized SdkHttpClient getHttpClient(Transport transport, Properties config) {
+        SdkHttpClient client = sharedClients.get(transport);
+        if (client == null) {
+            client = buildHttpClient(transport, config);
+            sharedClients.put(transport, client);
+        }
+        return client;
+    }
+
+    /**
+     * Closes every shared HTTP client. Safe to call more than once.
+     */
+    public static synchronized void closeAll() {
+        for (SdkHttpClient client : sharedClients.values()) {
+            client.close();
+        }
+        sharedClients.clear();
+    }
+
+    private static SdkHttpClient buildHttpClient(Transport transport, Properties config) {
+        switch (transport) {
+            case CRT:
+                try {
+                    return CrtClientFactory.build(config);
+                } catch (NoClassDefFoundError e) {
+                    // aws-crt-client is only bundled when built with -Pcrt
+                    System.out.println("CRT HTTP client is not on the classpath (build with -Pcrt), "
+                            + "falling back to urlconnection.");
+                    return buildUrlConnectionClient(config);
+                }
+            case APACHE:
+                // The SDK's Apache client always enables TCP_NODELAY on its sockets
+                return ApacheHttpClient.builder()
+                        .maxConnections(getInt(config, "http.max.connections", 50))
+                        .connectionTimeout(getMillis(config, "http.connection.timeout.ms", 2000))
+                        .socketTimeout(getMillis(config, "http.socket.timeout.ms", 30000))
+                        .connectionMaxIdleTime(getMillis(config, "http.connection.max.idle.ms", 60000))
+                        .tcpKeepAlive(Boolean.parseBoolean(config.getProperty("http.tcp.keepalive", "true")))
+                        .build();
+            case URLCONNECTION:
+            default:
+                return buildUrlConnectionClient(config);
+        }
+    }
+
+    private static SdkHttpClient buildUrlConnectionClient(Properties config) {
+        // Socket reuse is left to the JVM-wide HttpURLConnection keep-alive cache
+        return UrlConnectionHttpClient.builder()
+                .connectionTimeout(getMillis(config, "http.connection.timeout.ms", 2000))
+                .socketTimeout(getMillis(config, "http.socket.timeout.ms", 30000))
+                .build();
+    }
+
+    /**
+     * Keeps every reference to the CRT classes out of HttpTransportManager itself, so the
+     * native CRT library is only loaded when the crt transport is actually selected.
+     */
+    private static class CrtClientFactory {
+
+        static SdkHttpClient build(Properties config) {
+            AwsCrtHttpClient.Builder builder = AwsCrtHttpClient.builder()
+                    .maxConcurrency(getInt(config, "http.max.connections", 50))
+                    .connectionTimeout(getMillis(config, "http.connection.timeout.ms", 2000))
+                    .connectionMaxIdleTime(getMillis(config, "http.connection.max.idle.ms", 60000));
+            if (Boolean.parseBoolean(config.getProperty("http.tcp.keepalive", "true"))) {
+                builder.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+                        .keepAliveInterval(getMillis(config, "http.crt.keepalive.interval.ms", 30000))
+                        .keepAliveTimeout(getMillis(config, "http.crt.keepalive.timeout.ms", 10000))
+                        .build());
+            }
+            return builder.build();
+        }
+    }
+
+    private static int getInt(Properties config, String key, int defaultValue) {
+        String value = config.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid value for " + key + ": '" + value + "', using " + defaultValue + ".");
+            return defaultValue;
+        }
+    }
+
+    private static Duration getMillis(Properties config, String key, int defaultMillis) {
+        return Duration.ofMillis(getInt(config, key, defaultMillis));
+    }
+}
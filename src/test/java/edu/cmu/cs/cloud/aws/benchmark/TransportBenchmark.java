@@ -0,0 +1,189 @@
+package edu.cmu.cs.cloud.aws.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import edu.cmu.cs.cloud.aws.model.AWSConfigLoader;
+import edu.cmu.cs.cloud.aws.model.HttpTransportManager;
+import edu.cmu.cs.cloud.aws.model.HttpTransportManager.Transport;
+
+/**
+ * Compares the HTTP transports against a local stub EC2 endpoint, so no AWS account is needed.
+ *
+ * Usage: TransportBenchmark [transport|all] [threads] [requestsPerThread]
+ *
+ * In "all" mode every transport runs in its own JVM, so each startup figure includes loading
+ * the SDK from cold. Each run makes one untimed warm-up batch before the timed batch so that
+ * throughput and latency are measured after JIT warm-up.
+ */
+public class TransportBenchmark {
+
+    private static final String DESCRIBE_REGIONS_RESPONSE =
+            "<DescribeRegionsResponse xmlns=\"http://ec2.amazonaws.com/doc/2016-11-15/\">"
+                    + "<requestId>00000000-0000-0000-0000-000000000000</requestId>"
+                    + "<regionInfo><item>"
+                    + "<regionName>us-east-1</regionName>"
+                    + "<regionEndpoint>ec2.us-east-1.amazonaws.com</regionEndpoint>"
+                    + "</item></regionInfo>"
+                    + "</DescribeRegionsResponse>";
+
+    // Set on child JVMs launched by "all" mode so only the parent prints the header
+    private static final String CHILD_PROPERTY = "transport.benchmark.child";
+
+    public static void main(String[] args) throws Exception {
+        String selected = args.length > 0 ? args[0] : "all";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int requestsPerThread = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        if (!Boolean.getBoolean(CHILD_PROPERTY)) {
+            System.out.printf("%-14s %12s %14s %12s %12s%n",
+                    "transport", "startup(ms)", "throughput/s", "p50(ms)", "p99(ms)");
+        }
+
+        if (selected.equalsIgnoreCase("all")) {
+            for (Transport transport : Transport.values()) {
+                runInFreshJvm(transport, threads, requestsPerThread);
+            }
+        } else {
+            runBenchmark(Transport.valueOf(selected.toUpperCase()), threads, requestsPerThread);
+        }
+    }
+
+    private static void runInFreshJvm(Transport transport, int threads, int requestsPerThread)
+            throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java,
+                "-D" + CHILD_PROPERTY + "=true",
+                "-cp", System.getProperty("java.class.path"),
+                TransportBenchmark.class.getName(),
+                transport.name(), String.valueOf(threads), String.valueOf(requestsPerThread))
+                .inheritIO()
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            System.out.println(transport.name().toLowerCase() + " run failed with exit code " + exitCode);
+        }
+    }
+
+    private static void runBenchmark(Transport transport, int threads, int requestsPerThread) throws Exception {
+        Properties config = AWSConfigLoader.loadConfig();
+        ExecutorService serverExecutor = Executors.newFixedThreadPool(threads);
+        HttpServer server = startStubServer(serverExecutor);
+        URI endpoint = URI.create("http://localhost:" + server.getAddress().getPort());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Ec2Client ec2 = null;
+        try {
+            // Startup: build the transport and client, then make the first (cold) call
+            long startupBegin = System.nanoTime();
+            SdkHttpClient httpClient = HttpTransportManager.getHttpClient(transport, config);
+            ec2 = Ec2Client.builder()
+                    .region(Region.US_EAST_1)
+                    .endpointOverride(endpoint)
+                    .credentialsProvider(StaticCredentialsProvider.create(
+                            AwsBasicCredentials.create("benchmark", "benchmark")))
+                    .httpClient(httpClient)
+                    .build();
+            ec2.describeRegions();
+            long startupNanos = System.nanoTime() - startupBegin;
+
+            runBatch(ec2, executor, threads, requestsPerThread);
+
+            long runBegin = System.nanoTime();
+            long[] latencies = runBatch(ec2, executor, threads, requestsPerThread);
+            long runNanos = System.nanoTime() - runBegin;
+
+            Arrays.sort(latencies);
+            double throughput = latencies.length / (runNanos / 1e9);
+            System.out.printf("%-14s %12.1f %14.1f %12.3f %12.3f%n",
+                    transport.name().toLowerCase(),
+                    startupNanos / 1e6,
+                    throughput,
+                    percentile(latencies, 0.50) / 1e6,
+                    percentile(latencies, 0.99) / 1e6);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            if (ec2 != null) {
+                ec2.close();
+            }
+            HttpTransportManager.closeAll();
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Issues requestsPerThread calls from each of threads workers and returns every call's latency.
+     */
+    private static long[] runBatch(Ec2Client ec2, ExecutorService executor, int threads, int requestsPerThread)
+            throws Exception {
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] latencies = new long[requestsPerThread];
+                for (int i = 0; i < requestsPerThread; i++) {
+                    long begin = System.nanoTime();
+                    ec2.describeRegions();
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+
+        long[] allLatencies = new long[threads * requestsPerThread];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, allLatencies, offset, latencies.length);
+            offset += latencies.length;
+        }
+        return allLatencies;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Starts an HTTP server on an ephemeral port that answers every request with a canned
+     * DescribeRegions response.
+     */
+    private static HttpServer startStubServer(ExecutorService executor) throws IOException {
+        byte[] body = DESCRIBE_REGIONS_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            // Drain the request so the connection can be kept alive
+            while (exchange.getRequestBody().read() != -1) {
+                // discard
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/xml;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,61 @@
+package edu.cmu.cs.cloud.aws.model;
+
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.http.SdkHttpClient;
+
+import java.util.Properties;
+
+import edu.cmu.cs.cloud.aws.model.HttpTransportManager.Transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class HttpTransportManagerTest {
+
+    @After
+    public void tearDown() {
+        HttpTransportManager.closeAll();
+    }
+
+    @Test
+    public void fromConfigDefaultsToUrlConnectionForMissingValues() {
+        assertEquals(Transport.URLCONNECTION, Transport.fromConfig(null));
+        assertEquals(Transport.URLCONNECTION, Transport.fromConfig("   "));
+    }
+
+    @Test
+    public void fromConfigIgnoresCaseAndWhitespace() {
+        assertEquals(Transport.APACHE, Transport.fromConfig(" Apache "));
+        assertEquals(Transport.CRT, Transport.fromConfig("cRt"));
+        assertEquals(Transport.URLCONNECTION, Transport.fromConfig("UrlConnection"));
+    }
+
+    @Test
+    public void fromConfigFallsBackToUrlConnectionForUnknownValues() {
+        assertEquals(Transport.URLCONNECTION, Transport.fromConfig("netty"));
+    }
+
+    @Test
+    public void getHttpClientReturnsSharedInstance() {
+        Properties config = new Properties();
+        config.setProperty("http.client.type", "apache");
+
+        SdkHttpClient first = HttpTransportManager.getHttpClient(config);
+        assertSame(first, HttpTransportManager.getHttpClient(config));
+        assertSame(first, HttpTransportManager.getHttpClient(Transport.APACHE, config));
+    }
+
+    @Test
+    public void closeAllForcesRebuild() {
+        Properties config = new Properties();
+
+        SdkHttpClient first = HttpTransportManager.getHttpClient(Transport.URLCONNECTION, config);
+        HttpTransportManager.closeAll();
+        SdkHttpClient second = HttpTransportManager.getHttpClient(Transport.URLCONNECTION, config);
+
+        assertNotSame(first, second);
+        assertSame(second, HttpTransportManager.getHttpClient(Transport.URLCONNECTION, config));
+    }
+}